@@ -8,6 +8,8 @@ public class BukkitCooldownFactory
 {
     public static CooldownFactory<Player> createFor(Plugin plugin)
     {
+        OnlinePlayerCache.register(plugin);
+
         return CooldownFactory.create(new BukkitUUIDFetcher(), new BukkitTaskScheduler(plugin));
     }
 }
@@ -21,6 +21,12 @@ public class BukkitTaskScheduler implements TaskScheduler
         Bukkit.getScheduler().scheduleSyncRepeatingTask(this.plugin, task, 0, toTicks(delay));
     }
 
+    @Override
+    public void execute(Runnable task)
+    {
+        Bukkit.getScheduler().runTask(this.plugin, task);
+    }
+
     private static long toTicks(Duration duration)
     {
         return duration.toMillis() / 50;
@@ -21,6 +21,19 @@ public class CooldownFutureFactory
         return new OnlinePlayerFuture(playerAction);
     }
 
+    /**
+     * Creates a future based on the provided {@code action} that runs only if the player is online.
+     * <p>
+     * Unlike {@link #ifOnline(BiConsumer)}, the action also receives the player's UUID - which is preferable for querying the cooldown.
+     *
+     * @param playerAction The delegate action.
+     * @return The created future.
+     */
+    public static CooldownFuture<Player> ifOnline(OnlinePlayerFuture.PlayerAction playerAction)
+    {
+        return new OnlinePlayerFuture(playerAction);
+    }
+
     /**
      * Creates a future that messages the player, with the following placeholders:
      * <nl>
@@ -0,0 +1,85 @@
+package dte.calmdown.bukkit;
+
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.server.PluginDisableEvent;
+import org.bukkit.plugin.Plugin;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Maps the UUIDs of the online players to their objects, and is kept updated by listening to joins and quits.
+ * <p>
+ * Until it's registered, lookups fall back to {@link Bukkit#getPlayer(UUID)}.
+ * Lookups are safe from any thread, since futures also run on asynchronous events (e.g. chat).
+ */
+public class OnlinePlayerCache implements Listener
+{
+    private static final Map<UUID, Player> ONLINE_PLAYERS = new ConcurrentHashMap<>();
+    private static volatile Plugin registrar;
+
+    private OnlinePlayerCache()
+    {
+    }
+
+    /**
+     * Starts maintaining the cache on behalf of the provided {@code plugin}, unless it's already maintained.
+     *
+     * @param plugin The plugin that owns the listener.
+     */
+    public static void register(Plugin plugin)
+    {
+        if(registrar != null)
+            return;
+
+        Bukkit.getOnlinePlayers().forEach(player -> ONLINE_PLAYERS.put(player.getUniqueId(), player));
+        Bukkit.getPluginManager().registerEvents(new OnlinePlayerCache(), plugin);
+        registrar = plugin;
+    }
+
+    /**
+     * Returns the online player whose UUID is the provided {@code playerUUID}, or null if they're offline.
+     *
+     * @param playerUUID The UUID of the player.
+     * @return The online player, or null.
+     */
+    public static Player get(UUID playerUUID)
+    {
+        if(registrar == null)
+            return Bukkit.getPlayer(playerUUID);
+
+        return ONLINE_PLAYERS.get(playerUUID);
+    }
+
+    @EventHandler(priority = EventPriority.LOWEST)
+    public void onJoin(PlayerJoinEvent event)
+    {
+        Player player = event.getPlayer();
+
+        ONLINE_PLAYERS.put(player.getUniqueId(), player);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(PlayerQuitEvent event)
+    {
+        ONLINE_PLAYERS.remove(event.getPlayer().getUniqueId());
+    }
+
+    //the listener dies with its plugin, so the cache can't be trusted anymore
+    @EventHandler
+    public void onRegistrarDisable(PluginDisableEvent event)
+    {
+        if(event.getPlugin() != registrar)
+            return;
+
+        ONLINE_PLAYERS.clear();
+        registrar = null;
+    }
+}
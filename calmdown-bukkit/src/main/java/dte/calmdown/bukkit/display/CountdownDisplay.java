@@ -0,0 +1,208 @@
+package dte.calmdown.bukkit.display;
+
+import dte.calmdown.Cooldown;
+import dte.calmdown.bukkit.BukkitTaskScheduler;
+import dte.calmdown.bukkit.OnlinePlayerCache;
+import dte.calmdown.platform.scheduler.TaskScheduler;
+import dte.calmdown.utils.DurationFormatter;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Displays the remaining time of players on their cooldowns, using a single task for all of them.
+ * <p>
+ * Every tick, each countdown is re-rendered only if its displayed second has changed, and the text is sent only if it differs from the last one.
+ * The amount of sends per tick is capped - countdowns that exceed it are sent on the following ticks.
+ * The supported placeholders are:
+ * <nl>
+ * 	<li><i>%time%</i> - the remaining time of the player.
+ * 	<li><i>%player%</i> - the player's name.
+ * </nl>
+ */
+public class CountdownDisplay
+{
+    private final Map<UUID, DisplayedCountdown> countdowns = new LinkedHashMap<>();
+    private final CountdownSender sender;
+    private final String format;
+    private final int maxSendsPerTick;
+
+    private static final Duration TICK = Duration.ofMillis(50);
+    private static final int DEFAULT_MAX_SENDS_PER_TICK = 100;
+
+    public CountdownDisplay(TaskScheduler taskScheduler, CountdownSender sender, String format, int maxSendsPerTick)
+    {
+        if(maxSendsPerTick <= 0)
+            throw new IllegalArgumentException("The max amount of sends per tick must be positive!");
+
+        this.sender = Objects.requireNonNull(sender, "The sender of the countdowns must be provided!");
+        this.format = Objects.requireNonNull(format, "The format of the countdowns must be provided!");
+        this.maxSendsPerTick = maxSendsPerTick;
+
+        taskScheduler.scheduleEvery(this::update, TICK);
+    }
+
+    public static CountdownDisplay createFor(Plugin plugin, CountdownSender sender, String format)
+    {
+        OnlinePlayerCache.register(plugin);
+
+        return new CountdownDisplay(new BukkitTaskScheduler(plugin), sender, format, DEFAULT_MAX_SENDS_PER_TICK);
+    }
+
+    /**
+     * Convenient version of {@link #show(UUID, Cooldown)} that directly accepts the {@code player}.
+     */
+    public void show(Player player, Cooldown<Player> cooldown)
+    {
+        Objects.requireNonNull(player, "The player to show the countdown to must be provided!");
+
+        show(player.getUniqueId(), cooldown);
+    }
+
+    /**
+     * Displays the time left for the provided {@code player}(identified by their UUID) on the {@code cooldown}, until it's over.
+     * If the player already sees a countdown from this display, it gets replaced.
+     *
+     * @param playerUUID The UUID of the player.
+     * @param cooldown The cooldown to display.
+     */
+    public void show(UUID playerUUID, Cooldown<Player> cooldown)
+    {
+        Objects.requireNonNull(playerUUID, "The UUID of the player to show the countdown to must be provided!");
+        Objects.requireNonNull(cooldown, "The cooldown to display must be provided!");
+
+        this.countdowns.put(playerUUID, new DisplayedCountdown(cooldown));
+    }
+
+    /**
+     * Convenient version of {@link #hide(UUID)} that directly accepts the {@code player}.
+     */
+    public void hide(Player player)
+    {
+        Objects.requireNonNull(player, "The player to hide the countdown from must be provided!");
+
+        hide(player.getUniqueId());
+    }
+
+    /**
+     * Stops displaying the countdown of the provided {@code player}(identified by their UUID).
+     *
+     * @param playerUUID The UUID of the player.
+     */
+    public void hide(UUID playerUUID)
+    {
+        if(this.countdowns.remove(playerUUID) != null)
+            hideFrom(playerUUID);
+    }
+
+    private void update()
+    {
+        List<UUID> sentTo = new ArrayList<>();
+        int sends = 0; //clears are also sends, but their countdowns are removed rather than moved
+
+        for(Iterator<Map.Entry<UUID, DisplayedCountdown>> iterator = this.countdowns.entrySet().iterator(); iterator.hasNext(); )
+        {
+            Map.Entry<UUID, DisplayedCountdown> entry = iterator.next();
+            UUID playerUUID = entry.getKey();
+            DisplayedCountdown countdown = entry.getValue();
+
+            long secondsLeft = countdown.cooldown.getTimeLeft(playerUUID)
+                    .map(CountdownDisplay::toDisplayedSeconds)
+                    .orElse(0L);
+
+            //an expired countdown that exceeds the budget is cleared on the following ticks
+            if(secondsLeft <= 0)
+            {
+                if(sends == this.maxSendsPerTick)
+                    continue;
+
+                iterator.remove();
+
+                if(hideFrom(playerUUID))
+                    sends++;
+
+                continue;
+            }
+
+            //the same second was already rendered, or there is no budget left for this tick
+            if(secondsLeft == countdown.renderedSeconds || sends == this.maxSendsPerTick)
+                continue;
+
+            Player player = OnlinePlayerCache.get(playerUUID);
+
+            if(player == null)
+            {
+                iterator.remove();
+                continue;
+            }
+
+            countdown.renderedSeconds = secondsLeft;
+            String text = render(player, secondsLeft);
+
+            if(text.equals(countdown.sentText))
+                continue;
+
+            countdown.sentText = text;
+            this.sender.send(player, text);
+            sentTo.add(playerUUID);
+            sends++;
+        }
+
+        //move the sent countdowns to the end, so the deferred ones are the first to be sent next tick
+        for(UUID playerUUID : sentTo)
+        {
+            DisplayedCountdown countdown = this.countdowns.remove(playerUUID);
+
+            if(countdown != null)
+                this.countdowns.put(playerUUID, countdown);
+        }
+    }
+
+    //returns whether the countdown was actually cleared
+    private boolean hideFrom(UUID playerUUID)
+    {
+        Player player = OnlinePlayerCache.get(playerUUID);
+
+        if(player == null)
+            return false;
+
+        this.sender.clear(player);
+        return true;
+    }
+
+    private String render(Player player, long secondsLeft)
+    {
+        return this.format
+                .replace("%time%", DurationFormatter.format(Duration.ofSeconds(secondsLeft)))
+                .replace("%player%", player.getName());
+    }
+
+    //a partial second is displayed as a whole one, just like DurationFormatter does
+    private static long toDisplayedSeconds(Duration timeLeft)
+    {
+        if(timeLeft.isNegative())
+            return 0;
+
+        return timeLeft.getNano() > 0 ? timeLeft.getSeconds() + 1 : timeLeft.getSeconds();
+    }
+
+    private static class DisplayedCountdown
+    {
+        final Cooldown<Player> cooldown;
+        long renderedSeconds = -1;
+        String sentText;
+
+        DisplayedCountdown(Cooldown<Player> cooldown)
+        {
+            this.cooldown = cooldown;
+        }
+    }
+}
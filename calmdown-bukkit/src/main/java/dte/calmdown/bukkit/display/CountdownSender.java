@@ -0,0 +1,29 @@
+package dte.calmdown.bukkit.display;
+
+import org.bukkit.entity.Player;
+
+/**
+ * Sends a rendered countdown to a player through a specific display slot (e.g. the action bar or a boss bar).
+ * <p>
+ * This is an extension point because the targeted API version doesn't expose those slots directly.
+ */
+@FunctionalInterface
+public interface CountdownSender
+{
+    /**
+     * Displays the provided {@code text} to the {@code player}.
+     *
+     * @param player The player.
+     * @param text The rendered countdown.
+     */
+    void send(Player player, String text);
+
+    /**
+     * Removes the countdown from the {@code player}'s screen, once their cooldown is over.
+     *
+     * @param player The player.
+     */
+    default void clear(Player player)
+    {
+    }
+}
@@ -1,6 +1,7 @@
 package dte.calmdown.bukkit.futures;
 
 import java.util.Arrays;
+import java.util.UUID;
 
 import dte.calmdown.utils.DurationFormatter;
 import org.bukkit.entity.Player;
@@ -11,29 +12,32 @@ public class MessageFuture extends OnlinePlayerFuture
 {
 	public MessageFuture(String... messages)
 	{
-		super((player, playerCooldown) -> 
+		super((playerUUID, player, playerCooldown) ->
 		{
+			String timeLeft = describeTimeLeft(playerUUID, playerCooldown);
+
 			String[] finalMessages = Arrays.stream(messages)
-					.map(message -> injectPlaceholders(message, player, playerCooldown))
+					.map(message -> injectPlaceholders(message, player, timeLeft))
 					.toArray(String[]::new);
 
 			player.sendMessage(finalMessages);
 		});
 	}
 
-	private static String injectPlaceholders(String message, Player player, Cooldown<Player> playerCooldown)
+	private static String injectPlaceholders(String message, Player player, String timeLeft)
 	{
-		if(playerCooldown.isOn(player))
-			message = message.replace("%time%", describeTimeLeft(player, playerCooldown));
+		if(timeLeft != null)
+			message = message.replace("%time%", timeLeft);
 
 		return message.replace("%player%", player.getName());
-
 	}
 
-	private static String describeTimeLeft(Player player, Cooldown<Player> playerCooldown)
+	//returns null if the player is not on the cooldown
+	private static String describeTimeLeft(UUID playerUUID, Cooldown<Player> playerCooldown)
 	{
-		return playerCooldown.getTimeLeft(player)
+		return playerCooldown.getTimeLeft(playerUUID)
+				.filter(timeLeft -> !timeLeft.isNegative() && !timeLeft.isZero())
 				.map(DurationFormatter::format)
-				.get();
+				.orElse(null);
 	}
 }
@@ -4,16 +4,21 @@ import java.util.UUID;
 import java.util.function.BiConsumer;
 
 import dte.calmdown.CooldownFuture;
-import org.bukkit.Bukkit;
+import dte.calmdown.bukkit.OnlinePlayerCache;
 import org.bukkit.entity.Player;
 
 import dte.calmdown.Cooldown;
 
 public class OnlinePlayerFuture implements CooldownFuture<Player>
 {
-	private final BiConsumer<Player, Cooldown<Player>> playerAction;
+	private final PlayerAction playerAction;
 
 	public OnlinePlayerFuture(BiConsumer<Player, Cooldown<Player>> playerAction)
+	{
+		this((playerUUID, player, playerCooldown) -> playerAction.accept(player, playerCooldown));
+	}
+
+	public OnlinePlayerFuture(PlayerAction playerAction)
 	{
 		this.playerAction = playerAction;
 	}
@@ -21,11 +26,20 @@ public class OnlinePlayerFuture implements CooldownFuture<Player>
 	@Override
 	public void accept(UUID playerUUID, Cooldown<Player> playerCooldown)
 	{
-		Player player = Bukkit.getPlayer(playerUUID);
+		Player player = OnlinePlayerCache.get(playerUUID);
 
 		if(player == null)
 			return;
 
-		this.playerAction.accept(player, playerCooldown);
+		this.playerAction.accept(playerUUID, player, playerCooldown);
+	}
+
+	/**
+	 * An action on an online player that also receives their UUID, so it can query the cooldown without fetching it again.
+	 */
+	@FunctionalInterface
+	public interface PlayerAction
+	{
+		void accept(UUID playerUUID, Player player, Cooldown<Player> playerCooldown);
 	}
 }
@@ -2,14 +2,22 @@ package dte.calmdown;
 
 import dte.calmdown.platform.UUIDFetcher;
 
+import java.time.Clock;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Represents a period that a player is forced to wait.
@@ -18,14 +26,17 @@ import java.util.UUID;
  */
 public class Cooldown<P>
 {
-	private final Map<UUID, Instant> endDates = new HashMap<>();
+	private final Map<UUID, Instant> endDates = new ConcurrentHashMap<>();
+	private final Map<UUID, List<CompletableFuture<Void>>> expiryWaiters = new ConcurrentHashMap<>();
 	private final UUIDFetcher<P> uuidFetcher;
-	private CooldownFuture<P> rejectionStrategy, whenOver;
-	private Duration defaultTime;
+	private final Clock clock;
+	private volatile CooldownFuture<P> rejectionStrategy, whenOver;
+	private volatile Duration defaultTime;
 
 	private Cooldown(Builder<P> builder)
 	{
 		this.uuidFetcher = builder.uuidFetcher;
+		this.clock = builder.clock;
 		this.rejectionStrategy = builder.rejectionStrategy;
 		this.whenOver = builder.whenOver;
 		this.defaultTime = builder.defaultTime;
@@ -51,8 +62,14 @@ public class Cooldown<P>
 	{
 		Objects.requireNonNull(playerUUID, "The UUID of the player to put on cooldown must be provided!");
 		Objects.requireNonNull(time, "The time to put the player on cooldown must be provided!");
-		
-		this.endDates.put(playerUUID, Instant.now().plus(time));
+
+		//the waiters of an entry that is already over complete now, rather than waiting for the new one
+		List<CompletableFuture<Void>> expiredWaiters = isOn(playerUUID) ? null : this.expiryWaiters.remove(playerUUID);
+
+		this.endDates.put(playerUUID, Instant.now(this.clock).plus(time));
+
+		if(expiredWaiters != null)
+			expiredWaiters.forEach(waiter -> waiter.complete(null));
 	}
 
 	/**
@@ -103,7 +120,7 @@ public class Cooldown<P>
 		
 		Instant endDate = this.endDates.getOrDefault(playerUUID, Instant.MIN);
 		
-		return Instant.now().isBefore(endDate);
+		return Instant.now(this.clock).isBefore(endDate);
 	}
 	
 	/**
@@ -126,6 +143,7 @@ public class Cooldown<P>
 		Objects.requireNonNull(playerUUID, "The UUID of the player to release must be provided!");
 		
 		this.endDates.remove(playerUUID);
+		cancelExpiryWaiters(this.expiryWaiters.remove(playerUUID));
 	}
 
 	/**
@@ -145,8 +163,10 @@ public class Cooldown<P>
 	 */
 	public Optional<Duration> getTimeLeft(UUID playerUUID)
 	{
+		Objects.requireNonNull(playerUUID, "The UUID of the player to check must be provided!");
+
 		return Optional.ofNullable(this.endDates.get(playerUUID))
-				.map(endDate -> Duration.between(Instant.now(), endDate));
+				.map(endDate -> Duration.between(Instant.now(this.clock), endDate));
 	}
 
 	/**
@@ -175,12 +195,56 @@ public class Cooldown<P>
 		return false;
 	}
 
+	/**
+	 * Convenient version of {@link #awaitExpiry(UUID)} that directly accepts the {@code player}.
+	 */
+	public CompletableFuture<Void> awaitExpiry(P player)
+	{
+		Objects.requireNonNull(player, "The player to await must be provided!");
+
+		return awaitExpiry(fetchUUID(player));
+	}
+
+	/**
+	 * Returns a future that completes once the provided {@code player}(identified by their UUID) is no longer on this cooldown.
+	 * If the player is not on this cooldown, the returned future is already completed.
+	 * <p>
+	 * If the player is put again while still on this cooldown, the future waits for the new time instead.
+	 * If the player is released, the future gets cancelled.
+	 *
+	 * @param playerUUID The UUID of the player.
+	 * @return The future that completes when the player's cooldown expires.
+	 */
+	public CompletableFuture<Void> awaitExpiry(UUID playerUUID)
+	{
+		Objects.requireNonNull(playerUUID, "The UUID of the player to await must be provided!");
+
+		if(!isOn(playerUUID))
+			return CompletableFuture.completedFuture(null);
+
+		CompletableFuture<Void> waiter = new CompletableFuture<>();
+		this.expiryWaiters.compute(playerUUID, (uuid, waiters) ->
+		{
+			if(waiters == null)
+				waiters = new ArrayList<>(1);
+
+			waiters.add(waiter);
+			return waiters;
+		});
+
+		return waiter;
+	}
+
 	/**
 	 * Removes all players from this cooldown.
 	 */
 	public void clear()
 	{
         this.endDates.clear();
+
+        List<List<CompletableFuture<Void>>> waiters = new ArrayList<>(this.expiryWaiters.values());
+        this.expiryWaiters.clear();
+        waiters.forEach(Cooldown::cancelExpiryWaiters);
     }
 
 	/**
@@ -250,7 +314,7 @@ public class Cooldown<P>
 	 */
 	public Map<UUID, Instant> toMap()
 	{
-		refresh();
+		expire();
 
 		return new HashMap<>(this.endDates);
 	}
@@ -265,9 +329,67 @@ public class Cooldown<P>
 		return uuid;
 	}
 
-	private void refresh()
+	boolean hasExpiryWaiters()
 	{
-		this.endDates.keySet().removeIf(playerUUID -> !isOn(playerUUID));
+		return !this.expiryWaiters.isEmpty();
+	}
+
+	Set<UUID> getAwaitedPlayers()
+	{
+		return Collections.unmodifiableSet(this.expiryWaiters.keySet());
+	}
+
+	/**
+	 * Completes the waiters of the provided {@code expired players}, unless they were put on this cooldown again.
+	 *
+	 * @param expiredPlayers The UUIDs of the players whose time was over.
+	 */
+	void completeExpiryWaiters(Collection<UUID> expiredPlayers)
+	{
+		List<CompletableFuture<Void>> expired = new ArrayList<>();
+
+		for(UUID playerUUID : expiredPlayers)
+		{
+			if(isOn(playerUUID))
+				continue;
+
+			List<CompletableFuture<Void>> waiters = this.expiryWaiters.remove(playerUUID);
+
+			if(waiters != null)
+				expired.addAll(waiters);
+		}
+
+		//completed after the removal, since dependent actions might await again
+		expired.forEach(waiter -> waiter.complete(null));
+	}
+
+	/**
+	 * Removes the players whose time is over, and returns the players who remain.
+	 * <p>
+	 * This method is safe to call outside the platform's thread: a player who is put again meanwhile is never removed.
+	 *
+	 * @return The UUIDs of the players who are still on this cooldown.
+	 */
+	Set<UUID> expire()
+	{
+		Instant now = Instant.now(this.clock);
+		Set<UUID> currentPlayers = new HashSet<>();
+
+		this.endDates.forEach((playerUUID, endDate) ->
+		{
+			if(now.isBefore(endDate))
+				currentPlayers.add(playerUUID);
+			else
+				this.endDates.remove(playerUUID, endDate);
+		});
+
+		return currentPlayers;
+	}
+
+	private static void cancelExpiryWaiters(List<CompletableFuture<Void>> waiters)
+	{
+		if(waiters != null)
+			waiters.forEach(waiter -> waiter.cancel(false));
 	}
 
 
@@ -275,6 +397,7 @@ public class Cooldown<P>
 	public static class Builder<P>
 	{
 		UUIDFetcher<P> uuidFetcher;
+		Clock clock;
 		CooldownFuture<P> rejectionStrategy, whenOver;
 		Duration defaultTime;
 		List<CooldownCreatedListener> creationListeners;
@@ -285,8 +408,19 @@ public class Cooldown<P>
 		 * This constructor accepts internal objects in order to prevent boilerplate in the fluent interface.
 		 */
 		public Builder(UUIDFetcher<P> uuidFetcher, List<CooldownCreatedListener> creationListeners)
+		{
+			this(uuidFetcher, Clock.systemUTC(), creationListeners);
+		}
+
+		/**
+		 * * For internal usage only.
+		 * <p>
+		 * This constructor accepts internal objects in order to prevent boilerplate in the fluent interface.
+		 */
+		public Builder(UUIDFetcher<P> uuidFetcher, Clock clock, List<CooldownCreatedListener> creationListeners)
 		{
 			this.uuidFetcher = uuidFetcher;
+			this.clock = clock;
 			this.creationListeners = creationListeners;
 		}
 		
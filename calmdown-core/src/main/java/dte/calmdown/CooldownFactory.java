@@ -3,34 +3,56 @@ package dte.calmdown;
 import dte.calmdown.platform.UUIDFetcher;
 import dte.calmdown.platform.scheduler.TaskScheduler;
 
+import java.time.Clock;
 import java.time.Duration;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 public class CooldownFactory<P>
 {
     private final UUIDFetcher<P> uuidFetcher;
-    private static final CooldownRefresher COOLDOWN_REFRESHER = new CooldownRefresher();
-    private static final List<CooldownCreatedListener> CREATION_LISTENERS = Collections.singletonList(COOLDOWN_REFRESHER::add);
+    private final Clock clock;
+    private final List<CooldownCreatedListener> creationListeners;
 
-    private CooldownFactory(UUIDFetcher<P> uuidFetcher)
+    private CooldownFactory(UUIDFetcher<P> uuidFetcher, Clock clock, CooldownRefresher cooldownRefresher)
     {
         this.uuidFetcher = uuidFetcher;
+        this.clock = clock;
+        this.creationListeners = Collections.singletonList(cooldownRefresher::add);
     }
 
     public static <P> CooldownFactory<P> create(UUIDFetcher<P> uuidFetcher, TaskScheduler taskScheduler)
     {
-        CooldownFactory<P> cooldownFactory = new CooldownFactory<>(uuidFetcher);
+        return create(uuidFetcher, taskScheduler, Clock.systemUTC(), ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates a factory whose cooldowns measure time using the provided {@code clock}, and are scanned for expiries on the provided {@code scanPool}.
+     * <p>
+     * This is mostly useful for tests and simulations, which control the time and wait for the scans.
+     *
+     * @param uuidFetcher The fetcher of the players' UUIDs.
+     * @param taskScheduler The scheduler of the platform.
+     * @param clock The clock of the cooldowns.
+     * @param scanPool The pool that scans the cooldowns.
+     * @return The created factory.
+     */
+    public static <P> CooldownFactory<P> create(UUIDFetcher<P> uuidFetcher, TaskScheduler taskScheduler, Clock clock, ForkJoinPool scanPool)
+    {
+        //the refresher dispatches through the scheduler, so each factory owns one
+        CooldownRefresher cooldownRefresher = new CooldownRefresher(taskScheduler, scanPool);
+        CooldownFactory<P> cooldownFactory = new CooldownFactory<>(uuidFetcher, clock, cooldownRefresher);
 
         //refresh all cooldowns every second
-        taskScheduler.scheduleEvery(COOLDOWN_REFRESHER::refresh, Duration.ofSeconds(1));
+        taskScheduler.scheduleEvery(cooldownRefresher::refresh, Duration.ofSeconds(1));
 
         return cooldownFactory;
     }
 
     public Cooldown.Builder<P> newBuilder()
     {
-        return new Cooldown.Builder<>(this.uuidFetcher, CREATION_LISTENERS);
+        return new Cooldown.Builder<>(this.uuidFetcher, this.clock, this.creationListeners);
     }
 
     public Cooldown<P> newCooldown()
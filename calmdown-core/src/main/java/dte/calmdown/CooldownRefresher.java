@@ -1,44 +1,161 @@
 package dte.calmdown;
 
+import dte.calmdown.platform.scheduler.TaskScheduler;
 import dte.calmdown.utils.CollectionUtils;
 
-import java.util.HashMap;
+import java.util.Collections;
 import java.util.HashSet;
-import java.util.Map;
+import java.util.List;
+import java.util.Objects;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Detects the players whose cooldowns are over, and runs the corresponding actions.
+ * <p>
+ * The cooldowns are scanned in parallel on a fork-join pool, and only the results are handed to the platform's thread -
+ * where the waiters are completed and the {@code whenOver} actions run.
+ */
 public class CooldownRefresher
 {
-    private final Map<Cooldown<?>, Set<UUID>> lastTracked = new HashMap<>();
+    private final List<TrackedCooldown<?>> trackedCooldowns = new CopyOnWriteArrayList<>();
+    private final TaskScheduler taskScheduler;
+    private final ForkJoinPool scanPool;
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+
+    private static final Logger LOGGER = Logger.getLogger(CooldownRefresher.class.getName());
+
+    public CooldownRefresher(TaskScheduler taskScheduler)
+    {
+        this(taskScheduler, ForkJoinPool.commonPool());
+    }
+
+    public CooldownRefresher(TaskScheduler taskScheduler, ForkJoinPool scanPool)
+    {
+        this.taskScheduler = taskScheduler;
+        this.scanPool = scanPool;
+    }
 
     public void add(Cooldown<?> cooldown)
     {
-        this.lastTracked.put(cooldown, new HashSet<>());
+        this.trackedCooldowns.add(new TrackedCooldown<>(cooldown));
     }
 
+    /**
+     * Starts a refresh, unless the previous one wasn't dispatched yet.
+     */
     public void refresh()
     {
-        this.lastTracked.keySet().stream()
-                .filter(cooldown -> cooldown.getWhenOver().isPresent())
-                .forEach(this::refresh);
+        if(!this.refreshing.compareAndSet(false, true))
+            return;
+
+        CompletableFuture.supplyAsync(this::scan, this.scanPool)
+                .thenAccept(results -> this.taskScheduler.execute(() -> dispatch(results)))
+                .whenComplete((nothing, error) ->
+                {
+                    if(error != null)
+                        this.refreshing.set(false);
+                });
+    }
+
+    private List<ExpiryResult<?>> scan()
+    {
+        return this.trackedCooldowns.parallelStream()
+                .map(TrackedCooldown::scan)
+                .filter(Objects::nonNull)
+                .collect(toList());
+    }
+
+    private void dispatch(List<ExpiryResult<?>> results)
+    {
+        try
+        {
+            results.forEach(ExpiryResult::dispatch);
+        }
+        finally
+        {
+            this.refreshing.set(false);
+        }
+    }
+
+    /*
+     * Only one scan of a cooldown runs at a time, so its last players are never accessed concurrently.
+     */
+    private static class TrackedCooldown<P>
+    {
+        final Cooldown<P> cooldown;
+        Set<UUID> lastPlayers = new HashSet<>();
+
+        TrackedCooldown(Cooldown<P> cooldown)
+        {
+            this.cooldown = cooldown;
+        }
+
+        ExpiryResult<P> scan()
+        {
+            boolean hasWhenOver = this.cooldown.getWhenOver().isPresent();
+
+            if(!hasWhenOver && !this.cooldown.hasExpiryWaiters())
+                return null;
+
+            Set<UUID> currentPlayers = this.cooldown.expire();
+            List<UUID> awaitedPlayers = CollectionUtils.getDifferences(this.cooldown.getAwaitedPlayers(), currentPlayers);
+            List<UUID> releasedPlayers = Collections.emptyList();
+
+            if(hasWhenOver)
+            {
+                releasedPlayers = CollectionUtils.getDifferences(this.lastPlayers, currentPlayers);
+                this.lastPlayers = currentPlayers;
+            }
+
+            if(awaitedPlayers.isEmpty() && releasedPlayers.isEmpty())
+                return null;
+
+            return new ExpiryResult<>(this.cooldown, releasedPlayers, awaitedPlayers);
+        }
     }
 
-    private <P> void refresh(Cooldown<P> cooldown)
+    private static class ExpiryResult<P>
     {
-        Set<UUID> currentPlayers = cooldown.toMap().keySet();
-        Set<UUID> trackedPlayers = this.lastTracked.get(cooldown);
+        final Cooldown<P> cooldown;
+        final List<UUID> releasedPlayers, awaitedPlayers;
 
-        //track new players
-        trackedPlayers.addAll(CollectionUtils.getDifferences(currentPlayers, trackedPlayers));
+        ExpiryResult(Cooldown<P> cooldown, List<UUID> releasedPlayers, List<UUID> awaitedPlayers)
+        {
+            this.cooldown = cooldown;
+            this.releasedPlayers = releasedPlayers;
+            this.awaitedPlayers = awaitedPlayers;
+        }
+
+        void dispatch()
+        {
+            this.cooldown.completeExpiryWaiters(this.awaitedPlayers);
 
-        //run the whenOver action on players whose cooldown is over
-        CooldownFuture<P> whenOver = cooldown.getWhenOver().get();
+            this.cooldown.getWhenOver().ifPresent(this::runWhenOver);
+        }
 
-        for(UUID releasedUUID : CollectionUtils.getDifferences(trackedPlayers, currentPlayers))
+        //the released players are no longer tracked, so a failing action must not skip the rest of them
+        private void runWhenOver(CooldownFuture<P> whenOver)
         {
-            trackedPlayers.remove(releasedUUID);
-            whenOver.accept(releasedUUID, cooldown);
+            for(UUID releasedUUID : this.releasedPlayers)
+            {
+                try
+                {
+                    whenOver.accept(releasedUUID, this.cooldown);
+                }
+                catch(RuntimeException exception)
+                {
+                    LOGGER.log(Level.SEVERE, String.format("The whenOver action of a cooldown failed for %s!", releasedUUID), exception);
+                }
+            }
         }
     }
-}
\ No newline at end of file
+}
@@ -16,6 +16,12 @@ public class DefaultTaskScheduler implements TaskScheduler
         EXECUTOR_SERVICE.scheduleAtFixedRate(task, 0, delay.toMillis(), TimeUnit.MILLISECONDS);
     }
 
+    @Override
+    public void execute(Runnable task)
+    {
+        EXECUTOR_SERVICE.execute(task);
+    }
+
     private static ThreadFactory createThreadFactory()
     {
         return task ->
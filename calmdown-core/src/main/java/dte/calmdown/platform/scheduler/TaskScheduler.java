@@ -5,8 +5,16 @@ import java.time.Duration;
 /**
  * Schedules tasks to happen within the platform's event loop.
  */
-@FunctionalInterface
 public interface TaskScheduler
 {
     void scheduleEvery(Runnable task, Duration delay);
-}
\ No newline at end of file
+
+    /**
+     * Runs the provided {@code task} once within the platform's event loop, as soon as possible.
+     * <p>
+     * This method is called from other threads, and must never run the task on the calling thread.
+     *
+     * @param task The task to run.
+     */
+    void execute(Runnable task);
+}
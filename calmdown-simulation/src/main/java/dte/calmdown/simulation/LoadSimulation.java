@@ -0,0 +1,318 @@
+package dte.calmdown.simulation;
+
+import dte.calmdown.Cooldown;
+import dte.calmdown.CooldownFactory;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Replays a {@link Workload} against real cooldowns, using a virtual clock and a simulated scheduler.
+ * <p>
+ * Given the same workload, every run performs the exact same calls in the exact same (virtual) times.
+ * Only the measured durations, allocations and heap depend on the JVM that runs it.
+ */
+public class LoadSimulation
+{
+    private final Workload workload;
+    private final Random random;
+    private final VirtualClock clock = new VirtualClock(Instant.EPOCH);
+    private final ForkJoinPool scanPool = new ForkJoinPool();
+    private final SimulatedTaskScheduler scheduler = new SimulatedTaskScheduler(this.clock, this.scanPool);
+    private final SimulationReport report;
+
+    private final SimulatedPlayer[] players;
+    private int onlineCount; //the first players in the array are the online ones
+
+    private final List<SimulatedCooldown> cooldowns = new ArrayList<>();
+
+    public LoadSimulation(Workload workload)
+    {
+        this.workload = workload;
+        this.random = new Random(workload.seed);
+        this.report = new SimulationReport(workload);
+        this.players = new SimulatedPlayer[workload.players];
+
+        for(int i = 0; i < this.players.length; i++)
+            this.players[i] = new SimulatedPlayer(new UUID(this.random.nextLong(), this.random.nextLong()));
+
+        this.onlineCount = (int) (this.players.length * workload.initiallyOnline);
+    }
+
+    public static void main(String[] args)
+    {
+        Workload workload = (args.length > 0 && args[0].equals("mass-expiry")) ? Workload.massExpiry() : Workload.steady();
+
+        for(int i = 1; i < args.length; i++)
+            applyOverride(workload, args[i]);
+
+        new LoadSimulation(workload).run().print(System.out);
+    }
+
+    public SimulationReport run()
+    {
+        long heapBefore = measureUsedHeap();
+        long allocationsBefore = measureTotalAllocations();
+        long wallStart = System.nanoTime();
+
+        CooldownFactory<SimulatedPlayer> factory = CooldownFactory.create(player -> player.uuid, this.scheduler, this.clock, this.scanPool);
+
+        for(int i = 0; i < this.workload.cooldowns; i++)
+            this.cooldowns.add(new SimulatedCooldown(factory));
+
+        try
+        {
+            for(int tick = 0; tick < this.workload.ticks; tick++)
+                runTick(tick);
+        }
+        finally
+        {
+            this.scanPool.shutdown();
+        }
+
+        Duration wallTime = Duration.ofNanos(System.nanoTime() - wallStart);
+        long totalAllocations = measureTotalAllocations();
+        long remainingEntries = this.cooldowns.stream().mapToLong(cooldown -> cooldown.cooldown.toMap().size()).sum();
+
+        this.report.recordTotals(wallTime,
+                totalAllocations < 0 ? -1 : totalAllocations - allocationsBefore,
+                measureUsedHeap() - heapBefore,
+                remainingEntries);
+
+        return this.report;
+    }
+
+    private void runTick(int tick)
+    {
+        long allocationsBefore = measureCurrentThreadAllocations();
+        long start = System.nanoTime();
+
+        simulatePlayers(tick);
+        this.scheduler.runDueTasks();
+        long scanStart = System.nanoTime();
+        long scanAllocationsBefore = measureCurrentThreadAllocations();
+
+        //waiting isn't the main thread's work, so it's excluded from its measurements
+        this.scheduler.awaitWorkers();
+        long scanAllocations = measureCurrentThreadAllocations() - scanAllocationsBefore;
+        long scanEnd = System.nanoTime();
+
+        long mainThreadNanos = scanStart - start;
+        long mainThreadAllocations = measureCurrentThreadAllocations() - allocationsBefore - scanAllocations;
+        this.report.recordTick(tick, mainThreadNanos, scanEnd - scanStart, mainThreadAllocations);
+    }
+
+    private void simulatePlayers(int tick)
+    {
+        int offlineCount = this.players.length - this.onlineCount;
+
+        for(int joins = sample(offlineCount * this.workload.joinChance); joins > 0 && this.onlineCount < this.players.length; joins--)
+            swap(this.onlineCount + this.random.nextInt(this.players.length - this.onlineCount), this.onlineCount++);
+
+        for(int quits = sample(this.onlineCount * this.workload.quitChance); quits > 0 && this.onlineCount > 0; quits--)
+            swap(this.random.nextInt(this.onlineCount), --this.onlineCount);
+
+        if(this.onlineCount == 0)
+            return;
+
+        for(int i = 0; i < this.workload.actionsPerTick; i++)
+        {
+            SimulatedCooldown cooldown = this.cooldowns.get(this.random.nextInt(this.cooldowns.size()));
+            SimulatedPlayer player = randomOnlinePlayer();
+            boolean passed = cooldown.cooldown.test(player);
+            this.report.recordTest(passed);
+
+            if(passed)
+                put(player, cooldown, randomTime());
+        }
+
+        if(this.workload.burstInterval > 0 && tick % this.workload.burstInterval == 0)
+        {
+            SimulatedCooldown cooldown = this.cooldowns.get(this.random.nextInt(this.cooldowns.size()));
+
+            //bursts put players regardless of their current time, so players who are still on the cooldown get re-armed
+            for(int i = 0; i < this.workload.burstSize; i++)
+                put(randomOnlinePlayer(), cooldown, this.workload.burstCooldownTime);
+        }
+    }
+
+    private void put(SimulatedPlayer player, SimulatedCooldown cooldown, Duration time)
+    {
+        Instant endDate = this.clock.instant().plus(time);
+
+        //completes the waiters of an expired entry, whose callbacks stop tracking it
+        cooldown.cooldown.put(player, time);
+        cooldown.endDates.put(player.uuid, endDate);
+        this.report.recordPut();
+
+        //the waiters that are still pending were re-armed, so they wait for the new end date
+        AwaitedExpiry pendingExpiry = cooldown.awaitedExpiries.get(player.uuid);
+
+        if(pendingExpiry != null)
+            pendingExpiry.endDate = endDate;
+
+        if(this.random.nextDouble() < this.workload.awaitChance)
+            await(player, cooldown, endDate);
+    }
+
+    private void await(SimulatedPlayer player, SimulatedCooldown cooldown, Instant endDate)
+    {
+        AwaitedExpiry expiry = cooldown.awaitedExpiries.computeIfAbsent(player.uuid, uuid -> new AwaitedExpiry(endDate));
+        this.report.recordAwait();
+
+        cooldown.cooldown.awaitExpiry(player).thenRun(() ->
+        {
+            cooldown.awaitedExpiries.remove(player.uuid, expiry);
+            this.report.recordAwaitLateness(Duration.between(expiry.endDate, this.clock.instant()));
+        });
+    }
+
+    private SimulatedPlayer randomOnlinePlayer()
+    {
+        return this.players[this.random.nextInt(this.onlineCount)];
+    }
+
+    private Duration randomTime()
+    {
+        long min = this.workload.minCooldownTime.toMillis();
+        long max = this.workload.maxCooldownTime.toMillis();
+
+        return Duration.ofMillis(min + (long) (this.random.nextDouble() * (max - min)));
+    }
+
+    //randomly rounds the expected amount, so fractions still add up over time
+    private int sample(double expected)
+    {
+        int whole = (int) expected;
+
+        return this.random.nextDouble() < (expected - whole) ? whole + 1 : whole;
+    }
+
+    private void swap(int i, int j)
+    {
+        SimulatedPlayer temp = this.players[i];
+        this.players[i] = this.players[j];
+        this.players[j] = temp;
+    }
+
+    private static void applyOverride(Workload workload, String override)
+    {
+        String[] parts = override.split("=", 2);
+
+        if(parts.length != 2)
+            throw new IllegalArgumentException(String.format("Expected key=value, but got \"%s\"!", override));
+
+        switch(parts[0])
+        {
+            case "seed":
+                workload.withSeed(Long.parseLong(parts[1]));
+                break;
+            case "ticks":
+                workload.withTicks(Integer.parseInt(parts[1]));
+                break;
+            case "players":
+                workload.withPlayers(Integer.parseInt(parts[1]), workload.initiallyOnline);
+                break;
+            case "actions":
+                workload.withActionsPerTick(Integer.parseInt(parts[1]));
+                break;
+            case "cooldowns":
+                workload.withCooldowns(Integer.parseInt(parts[1]), workload.minCooldownTime, workload.maxCooldownTime);
+                break;
+            default:
+                throw new IllegalArgumentException(String.format("Unknown workload setting \"%s\"!", parts[0]));
+        }
+    }
+
+    private static long measureUsedHeap()
+    {
+        Runtime runtime = Runtime.getRuntime();
+
+        for(int i = 0; i < 3; i++)
+            System.gc();
+
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    //returns -1 if the JVM can't measure allocations
+    private static long measureCurrentThreadAllocations()
+    {
+        ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+
+        if(!(threadBean instanceof com.sun.management.ThreadMXBean))
+            return -1;
+
+        return ((com.sun.management.ThreadMXBean) threadBean).getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    //returns -1 if the JVM can't measure allocations
+    private static long measureTotalAllocations()
+    {
+        ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+
+        if(!(threadBean instanceof com.sun.management.ThreadMXBean))
+            return -1;
+
+        long total = 0;
+
+        for(long allocated : ((com.sun.management.ThreadMXBean) threadBean).getThreadAllocatedBytes(threadBean.getAllThreadIds()))
+        {
+            if(allocated > 0)
+                total += allocated;
+        }
+
+        return total;
+    }
+
+    private static class SimulatedPlayer
+    {
+        final UUID uuid;
+
+        SimulatedPlayer(UUID uuid)
+        {
+            this.uuid = uuid;
+        }
+    }
+
+    private static class AwaitedExpiry
+    {
+        Instant endDate;
+
+        AwaitedExpiry(Instant endDate)
+        {
+            this.endDate = endDate;
+        }
+    }
+
+    private class SimulatedCooldown
+    {
+        final Cooldown<SimulatedPlayer> cooldown;
+
+        //the harness' own records, to measure how late the callbacks are
+        final Map<UUID, Instant> endDates = new HashMap<>();
+        final Map<UUID, AwaitedExpiry> awaitedExpiries = new HashMap<>();
+
+        SimulatedCooldown(CooldownFactory<SimulatedPlayer> factory)
+        {
+            this.cooldown = factory.newBuilder()
+                    .rejectsWith((playerUUID, playerCooldown) -> {})
+                    .whenOver((playerUUID, playerCooldown) ->
+                    {
+                        Instant endDate = this.endDates.remove(playerUUID);
+
+                        if(endDate != null)
+                            report.recordWhenOverLateness(Duration.between(endDate, clock.instant()));
+                    })
+                    .build();
+        }
+    }
+}
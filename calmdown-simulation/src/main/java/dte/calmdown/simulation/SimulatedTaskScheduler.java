@@ -0,0 +1,101 @@
+package dte.calmdown.simulation;
+
+import dte.calmdown.platform.scheduler.TaskScheduler;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Runs the scheduled tasks in virtual ticks, on the thread that calls {@link #runDueTasks()}.
+ * <p>
+ * After running the tasks, the caller waits for the work they submitted to the {@code worker pool} using {@link #awaitWorkers()}, so the results are deterministic.
+ */
+public class SimulatedTaskScheduler implements TaskScheduler
+{
+    private final List<RepeatingTask> repeatingTasks = new ArrayList<>();
+    private final Queue<Runnable> pendingTasks = new ConcurrentLinkedQueue<>();
+    private final VirtualClock clock;
+    private final ForkJoinPool workerPool;
+    private long currentTick;
+
+    public static final Duration TICK = Duration.ofMillis(50);
+
+    public SimulatedTaskScheduler(VirtualClock clock, ForkJoinPool workerPool)
+    {
+        this.clock = clock;
+        this.workerPool = workerPool;
+    }
+
+    @Override
+    public void scheduleEvery(Runnable task, Duration delay)
+    {
+        this.repeatingTasks.add(new RepeatingTask(task, Math.max(1, delay.toMillis() / TICK.toMillis()), this.currentTick));
+    }
+
+    @Override
+    public void execute(Runnable task)
+    {
+        this.pendingTasks.add(task);
+    }
+
+    /**
+     * Advances the clock by a single tick, and runs the tasks that became due.
+     * <p>
+     * Tasks that were passed to {@link #execute(Runnable)} run on the tick that follows, just like Bukkit's {@code runTask}.
+     */
+    public void runDueTasks()
+    {
+        this.currentTick++;
+        this.clock.advance(TICK);
+
+        for(int pending = this.pendingTasks.size(); pending > 0; pending--)
+            this.pendingTasks.poll().run();
+
+        for(RepeatingTask task : this.repeatingTasks)
+        {
+            if(task.nextTick > this.currentTick)
+                continue;
+
+            task.nextTick = this.currentTick + task.periodInTicks;
+            task.runnable.run();
+        }
+    }
+
+    /**
+     * Waits until the worker pool finishes the work that the tasks submitted to it.
+     * <p>
+     * Unlike {@link ForkJoinPool#awaitQuiescence(long, TimeUnit)}, the calling thread never helps, so the work stays off the simulated main thread.
+     */
+    public void awaitWorkers()
+    {
+        long deadline = System.nanoTime() + TimeUnit.MINUTES.toNanos(1);
+
+        while(!this.workerPool.isQuiescent() || this.workerPool.hasQueuedSubmissions() || this.workerPool.getQueuedTaskCount() > 0)
+        {
+            if(System.nanoTime() > deadline)
+                throw new IllegalStateException("The worker pool didn't finish its work within a minute!");
+
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(20));
+        }
+    }
+
+    private static class RepeatingTask
+    {
+        final Runnable runnable;
+        final long periodInTicks;
+        long nextTick;
+
+        RepeatingTask(Runnable runnable, long periodInTicks, long currentTick)
+        {
+            this.runnable = runnable;
+            this.periodInTicks = periodInTicks;
+            this.nextTick = currentTick + 1;
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package dte.calmdown.simulation;
+
+import java.io.PrintStream;
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * The measurements of a single {@link LoadSimulation} run.
+ */
+public class SimulationReport
+{
+    private final Workload workload;
+    private final long[] mainThreadNanos, scanNanos, mainThreadAllocations;
+    private final LatenessHistogram whenOverLateness = new LatenessHistogram(), awaitLateness = new LatenessHistogram();
+    private long tests, rejections, puts, awaits;
+    private long totalAllocations = -1, retainedHeap, remainingEntries;
+    private Duration wallTime;
+
+    SimulationReport(Workload workload)
+    {
+        this.workload = workload;
+        this.mainThreadNanos = new long[workload.ticks];
+        this.scanNanos = new long[workload.ticks];
+        this.mainThreadAllocations = new long[workload.ticks];
+    }
+
+    void recordTick(int tick, long mainThreadNanos, long scanNanos, long mainThreadAllocations)
+    {
+        this.mainThreadNanos[tick] = mainThreadNanos;
+        this.scanNanos[tick] = scanNanos;
+        this.mainThreadAllocations[tick] = mainThreadAllocations;
+    }
+
+    void recordTest(boolean passed)
+    {
+        this.tests++;
+
+        if(!passed)
+            this.rejections++;
+    }
+
+    void recordPut()
+    {
+        this.puts++;
+    }
+
+    void recordAwait()
+    {
+        this.awaits++;
+    }
+
+    void recordWhenOverLateness(Duration lateness)
+    {
+        this.whenOverLateness.record(lateness);
+    }
+
+    void recordAwaitLateness(Duration lateness)
+    {
+        this.awaitLateness.record(lateness);
+    }
+
+    void recordTotals(Duration wallTime, long totalAllocations, long retainedHeap, long remainingEntries)
+    {
+        this.wallTime = wallTime;
+        this.totalAllocations = totalAllocations;
+        this.retainedHeap = retainedHeap;
+        this.remainingEntries = remainingEntries;
+    }
+
+    public void print(PrintStream out)
+    {
+        double simulatedSeconds = this.workload.ticks * SimulatedTaskScheduler.TICK.toMillis() / 1000.0;
+
+        out.println("Workload: " + this.workload);
+        out.printf("Simulated %.0fs in %dms%n", simulatedSeconds, this.wallTime.toMillis());
+        out.printf("Calls: %d tests (%d rejected), %d puts, %d awaits%n", this.tests, this.rejections, this.puts, this.awaits);
+        out.println();
+
+        //the main thread runs the actions, the scheduled tasks and the dispatch of expiries
+        out.println("Main thread per tick (ms)   " + describePercentiles(this.mainThreadNanos, 1_000_000.0));
+        out.println("Main thread per tick (KiB)  " + describePercentiles(this.mainThreadAllocations, 1024.0));
+        out.println("Expiry scan per tick (ms)   " + describePercentiles(this.scanNanos, 1_000_000.0));
+
+        if(this.totalAllocations >= 0)
+            out.printf("Allocation rate: %.1f MiB per simulated second (all threads)%n", this.totalAllocations / simulatedSeconds / (1024 * 1024));
+
+        out.println();
+        out.println("whenOver lateness (ms)      " + this.whenOverLateness.describe());
+        out.println("awaitExpiry lateness (ms)   " + this.awaitLateness.describe());
+        out.println();
+
+        out.printf("Retained heap: %.1f MiB for %d entries (%.0f bytes per entry, including harness bookkeeping)%n",
+                this.retainedHeap / (1024.0 * 1024), this.remainingEntries, this.remainingEntries == 0 ? 0.0 : (double) this.retainedHeap / this.remainingEntries);
+    }
+
+    private static String describePercentiles(long[] samples, double unit)
+    {
+        long[] sorted = samples.clone();
+        Arrays.sort(sorted);
+
+        return String.format("p50=%.3f p90=%.3f p99=%.3f max=%.3f",
+                percentile(sorted, 0.5) / unit, percentile(sorted, 0.9) / unit, percentile(sorted, 0.99) / unit, sorted[sorted.length - 1] / unit);
+    }
+
+    private static long percentile(long[] sorted, double percentile)
+    {
+        return sorted[(int) Math.ceil(percentile * sorted.length) - 1];
+    }
+
+    /*
+     * Millisecond buckets, so millions of callbacks don't have to be stored.
+     */
+    private static class LatenessHistogram
+    {
+        final long[] buckets = new long[10_001]; //the last bucket holds everything above 10 seconds
+        long count;
+
+        void record(Duration lateness)
+        {
+            int millis = (int) Math.min(Math.max(lateness.toMillis(), 0), this.buckets.length - 1);
+
+            this.buckets[millis]++;
+            this.count++;
+        }
+
+        String describe()
+        {
+            if(this.count == 0)
+                return "no callbacks";
+
+            return String.format("p50=%d p90=%d p99=%d max=%d (%d callbacks)",
+                    percentile(0.5), percentile(0.9), percentile(0.99), percentile(1), this.count);
+        }
+
+        int percentile(double percentile)
+        {
+            long target = (long) Math.ceil(percentile * this.count);
+            long seen = 0;
+
+            for(int millis = 0; millis < this.buckets.length; millis++)
+            {
+                seen += this.buckets[millis];
+
+                if(seen >= target)
+                    return millis;
+            }
+
+            return this.buckets.length - 1;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package dte.calmdown.simulation;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+/**
+ * A clock that only moves when it's explicitly advanced.
+ * <p>
+ * Copies of this clock in other zones share its time, so advancing any of them advances all.
+ */
+public class VirtualClock extends Clock
+{
+    private final VirtualClock source;
+    private final ZoneId zone;
+    private volatile Instant now;
+
+    public VirtualClock(Instant start)
+    {
+        this.source = this;
+        this.zone = ZoneOffset.UTC;
+        this.now = start;
+    }
+
+    private VirtualClock(VirtualClock source, ZoneId zone)
+    {
+        this.source = source;
+        this.zone = zone;
+    }
+
+    public void advance(Duration duration)
+    {
+        this.source.now = this.source.now.plus(duration);
+    }
+
+    @Override
+    public Instant instant()
+    {
+        return this.source.now;
+    }
+
+    @Override
+    public ZoneId getZone()
+    {
+        return this.zone;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone)
+    {
+        if(zone.equals(this.zone))
+            return this;
+
+        return new VirtualClock(this.source, zone);
+    }
+}
@@ -0,0 +1,133 @@
+package dte.calmdown.simulation;
+
+import java.time.Duration;
+
+/**
+ * Describes the synthetic load that a {@link LoadSimulation} replays.
+ * <p>
+ * Chances are per player and per tick, and the amount of actions per tick is spread across the online players.
+ */
+public class Workload
+{
+    long seed = 42;
+    int ticks = 20 * 60;
+    int players = 100_000;
+    double initiallyOnline = 0.5;
+    double joinChance = 0.001, quitChance = 0.001;
+    int actionsPerTick = 2_000;
+    int cooldowns = 20;
+    Duration minCooldownTime = Duration.ofSeconds(3), maxCooldownTime = Duration.ofMinutes(2);
+    double awaitChance = 0.05;
+    int burstInterval, burstSize;
+    Duration burstCooldownTime = Duration.ofSeconds(10);
+
+    /**
+     * Returns a workload of a busy server, whose players constantly act on many cooldowns.
+     *
+     * @return The workload.
+     */
+    public static Workload steady()
+    {
+        return new Workload();
+    }
+
+    /**
+     * Returns a workload that periodically puts a large group of players on the same cooldown at once, so they all expire together.
+     *
+     * @return The workload.
+     */
+    public static Workload massExpiry()
+    {
+        return new Workload()
+                .withActionsPerTick(200)
+                .withBursts(20 * 15, 20_000, Duration.ofSeconds(10));
+    }
+
+    public Workload withSeed(long seed)
+    {
+        this.seed = seed;
+        return this;
+    }
+
+    public Workload withTicks(int ticks)
+    {
+        if(ticks <= 0)
+            throw new IllegalArgumentException("The amount of ticks must be positive!");
+
+        this.ticks = ticks;
+        return this;
+    }
+
+    public Workload withPlayers(int players, double initiallyOnline)
+    {
+        if(players <= 0)
+            throw new IllegalArgumentException("The amount of players must be positive!");
+
+        if(initiallyOnline < 0 || initiallyOnline > 1)
+            throw new IllegalArgumentException("The initially online fraction must be between 0 and 1!");
+
+        this.players = players;
+        this.initiallyOnline = initiallyOnline;
+        return this;
+    }
+
+    public Workload withTurnover(double joinChance, double quitChance)
+    {
+        this.joinChance = joinChance;
+        this.quitChance = quitChance;
+        return this;
+    }
+
+    public Workload withActionsPerTick(int actionsPerTick)
+    {
+        if(actionsPerTick < 0)
+            throw new IllegalArgumentException("The amount of actions per tick cannot be negative!");
+
+        this.actionsPerTick = actionsPerTick;
+        return this;
+    }
+
+    public Workload withCooldowns(int cooldowns, Duration minTime, Duration maxTime)
+    {
+        if(cooldowns <= 0)
+            throw new IllegalArgumentException("The amount of cooldowns must be positive!");
+
+        if(minTime.isNegative() || minTime.compareTo(maxTime) > 0)
+            throw new IllegalArgumentException("The min cooldown time must be non-negative and no greater than the max time!");
+
+        this.cooldowns = cooldowns;
+        this.minCooldownTime = minTime;
+        this.maxCooldownTime = maxTime;
+        return this;
+    }
+
+    public Workload withAwaitChance(double awaitChance)
+    {
+        this.awaitChance = awaitChance;
+        return this;
+    }
+
+    /**
+     * Every {@code interval} ticks, puts {@code size} random online players on the same cooldown for the same {@code time}.
+     *
+     * @param interval The amount of ticks between bursts.
+     * @param size The amount of players in every burst.
+     * @param time The time of the burst's cooldown.
+     * @return This workload for chaining purposes.
+     */
+    public Workload withBursts(int interval, int size, Duration time)
+    {
+        this.burstInterval = interval;
+        this.burstSize = size;
+        this.burstCooldownTime = time;
+        return this;
+    }
+
+    @Override
+    public String toString()
+    {
+        return String.format("seed=%d, ticks=%d, players=%d, initiallyOnline=%.2f, join=%.4f, quit=%.4f, actionsPerTick=%d, cooldowns=%d, time=[%s, %s], awaitChance=%.2f, bursts=%d every %d ticks",
+                this.seed, this.ticks, this.players, this.initiallyOnline, this.joinChance, this.quitChance, this.actionsPerTick, this.cooldowns,
+                this.minCooldownTime, this.maxCooldownTime, this.awaitChance, this.burstSize, this.burstInterval);
+    }
+}